@@ -6,19 +6,77 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
+import java.util.logging.Logger;
 
 
 public class APIManager {
 
-    private OkHttpClient client;
+    private static final Logger LOGGER = Logger.getLogger(APIManager.class.getName());
 
-    // Constructor to initialize OkHttpClient
-    public APIManager() {
-        this.client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .writeTimeout(30, TimeUnit.SECONDS)
+    // Built on first use, so runs that never call an API skip loading OkHttp
+    private volatile OkHttpClient client;
+
+    /**
+     * Get the OkHttpClient, creating it on first use
+     * @return The shared OkHttpClient
+     */
+    private OkHttpClient getClient() {
+        OkHttpClient result = client;
+        if (result == null) {
+            synchronized (this) {
+                result = client;
+                if (result == null) {
+                    result = new OkHttpClient.Builder()
+                            .connectTimeout(30, TimeUnit.SECONDS)
+                            .readTimeout(30, TimeUnit.SECONDS)
+                            .writeTimeout(30, TimeUnit.SECONDS)
+                            .build();
+                    client = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create the OkHttpClient and build, without executing, a POST call to the
+     * given URL, so the classes used by a real request are loaded
+     * @param url The URL of the request to prepare
+     */
+    public void prepareCall(String url) {
+        RequestBody body = RequestBody.create("{}", MediaType.parse("application/json"));
+        Request request = new Request.Builder()
+                .url(url)
+                .post(body)
+                .addHeader("Content-Type", "application/json")
                 .build();
+        getClient().newCall(request);
+    }
+
+    /**
+     * Prepare a call and open a connection to the given URL on a background
+     * thread, so the first real request reuses the pooled connection
+     * @param url The URL whose host will be called later
+     */
+    public void warmUp(String url) {
+        Thread warmUpThread = new Thread(() -> {
+            try {
+                prepareCall(url);
+                OkHttpClient warmClient = getClient();
+                Request request = new Request.Builder()
+                        .url(url)
+                        .head()
+                        .build();
+                try (Response response = warmClient.newCall(request).execute()) {
+                    LOGGER.log(Level.FINE, "Warm-up request completed with code: {0}", response.code());
+                }
+            } catch (Exception e) {
+                // The real request will report any connection problem
+                LOGGER.log(Level.FINE, "Warm-up request failed", e);
+            }
+        }, "api-warm-up");
+        warmUpThread.setDaemon(true);
+        warmUpThread.start();
     }
 
     /**
@@ -41,7 +99,7 @@ public class APIManager {
             }
 
             Request request = requestBuilder.build();
-            Response response = client.newCall(request).execute();
+            Response response = getClient().newCall(request).execute();
 
             if (response.isSuccessful() && response.body() != null) {
                 return response.body().string();
@@ -80,7 +138,7 @@ public class APIManager {
             }
 
             Request request = requestBuilder.build();
-            Response response = client.newCall(request).execute();
+            Response response = getClient().newCall(request).execute();
 
             if (response.isSuccessful() && response.body() != null) {
                 return response.body().string();
@@ -119,7 +177,7 @@ public class APIManager {
             }
 
             Request request = requestBuilder.build();
-            Response response = client.newCall(request).execute();
+            Response response = getClient().newCall(request).execute();
 
             if (response.isSuccessful() && response.body() != null) {
                 return response.body().string();
@@ -154,7 +212,7 @@ public class APIManager {
             }
 
             Request request = requestBuilder.build();
-            Response response = client.newCall(request).execute();
+            Response response = getClient().newCall(request).execute();
 
             if (response.isSuccessful() && response.body() != null) {
                 return response.body().string();
@@ -174,9 +232,10 @@ public class APIManager {
      */
     public void close() {
         try {
-            if (client != null) {
-                client.dispatcher().executorService().shutdown();
-                client.connectionPool().evictAll();
+            OkHttpClient currentClient = client;
+            if (currentClient != null) {
+                currentClient.dispatcher().executorService().shutdown();
+                currentClient.connectionPool().evictAll();
             }
         } catch (Exception e) {
             System.out.println("Error closing APIManager: " + e.getMessage());
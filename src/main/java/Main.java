@@ -14,19 +14,46 @@ public class Main {
     private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
     private static final int QR_CODE_WIDTH = 350;
     private static final int QR_CODE_HEIGHT = 350;
+    private static final String API_URL =
+            "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
+    // Warm up OkHttp and the QR Code stack in the background while the user types
+    private static final String FAST_STARTUP_ARGUMENT = "--fast-startup";
+    // Non-interactive run with default input that stops after the QR Code, for startup measurements
+    private static final String BENCHMARK_ARGUMENT = "--benchmark";
+    // Benchmark run used by the appcds profile to record the class list
+    private static final String CDS_TRAINING_ARGUMENT = "--cds-training";
     private static String response="";
+    private static long inputWaitNanos = 0;
 
     public static void main(String[] args) {
+        long startNanos = System.nanoTime();
         InputManager inputManager = null;
         APIManager apiManager = null;
+        QRcodeGenerator qRcodeGenerator = new QRcodeGenerator();
+        boolean cdsTraining = hasArgument(args, CDS_TRAINING_ARGUMENT);
+        boolean benchmark = cdsTraining || hasArgument(args, BENCHMARK_ARGUMENT);
+        boolean fastStartup = hasArgument(args, FAST_STARTUP_ARGUMENT);
 
         try {
+            if (cdsTraining) {
+                // Load the classes of a real request on the main thread, so they are archived before exit
+                apiManager = new APIManager();
+                apiManager.prepareCall(API_URL);
+            } else if (fastStartup) {
+                apiManager = new APIManager();
+                apiManager.warmUp(API_URL);
+
+                Thread warmUpThread = new Thread(qRcodeGenerator::warmUp, "qr-warm-up");
+                warmUpThread.setDaemon(true);
+                warmUpThread.start();
+            }
+
             // 1. Initialize InputManager
             inputManager = new InputManager();
 
             // 2. Welcome user
             try {
-                String name = inputManager.getStringInput("Please enter your name: ");
+                String name = benchmark ? "Benchmark" : readInput(inputManager, "Please enter your name: ");
                 WelcomeUtility.welcomeUser(name);
             } catch (Exception e) {
                 LOGGER.log(Level.WARNING, "Error during welcome process", e);
@@ -34,12 +61,14 @@ public class Main {
             }
 
             // 3. Take input from user
-            String url = null;
-            String mobileNumber = null;
+            String url = "https://devfolios.online";
+            String mobileNumber = "0000000000";
 
             try {
-                url = inputManager.getStringInput("Please enter the URL to encode in QR Code: ");
-                mobileNumber = inputManager.getStringInput("Please enter the recipient mobile number: ");
+                if (!benchmark) {
+                    url = readInput(inputManager, "Please enter the URL to encode in QR Code: ");
+                    mobileNumber = readInput(inputManager, "Please enter the recipient mobile number: ");
+                }
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error reading user input", e);
                 System.err.println("Failed to read input. Using default values.");
@@ -49,21 +78,29 @@ public class Main {
 
             // 4. Generate QR Code
             try {
-                QRcodeGenerator qRcodeGenerator = new QRcodeGenerator();
                 boolean isGenerated = qRcodeGenerator.generateQRcode(url, QR_CODE_WIDTH, QR_CODE_HEIGHT, "web.png");
 
                 if (!isGenerated) {
                     LOGGER.log(Level.SEVERE, "Failed to generate QR Code");
                     System.err.println("Failed to generate QR Code.");
+                } else {
+                    logTimeToFirstQRCode(startNanos);
                 }
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Unexpected error during QR code generation", e);
                 System.err.println("Error generating QR Code: " + e.getMessage());
             }
 
+            // Benchmark and training runs stop before any network or database traffic
+            if (benchmark) {
+                return;
+            }
+
             // 6. Call API using APIManager
             try {
-                apiManager = new APIManager();
+                if (apiManager == null) {
+                    apiManager = new APIManager();
+                }
 
                 String jsonBody = """
                         {
@@ -88,7 +125,7 @@ public class Main {
 
                 // Execute POST request using APIManager
                 response = apiManager.executePOST(
-                        "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent",
+                        API_URL,
                         jsonBody,
                         headers
                 );
@@ -157,6 +194,49 @@ public class Main {
         }
     }
 
+    /**
+     * Check whether the given flag was passed on the command line
+     * @param args The command line arguments
+     * @param argument The flag to look for
+     * @return true if the flag is present, false otherwise
+     */
+    private static boolean hasArgument(String[] args, String argument) {
+        if (args == null) {
+            return false;
+        }
+        for (String arg : args) {
+            if (argument.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read user input, keeping track of the time spent waiting for it
+     * @param inputManager The input manager to read from
+     * @param promptMessage The message to display to the user
+     * @return User input as String
+     */
+    private static String readInput(InputManager inputManager, String promptMessage) {
+        long waitStart = System.nanoTime();
+        try {
+            return inputManager.getStringInput(promptMessage);
+        } finally {
+            inputWaitNanos += System.nanoTime() - waitStart;
+        }
+    }
+
+    /**
+     * Log the time from entering main to the first generated QR Code, without the time spent waiting for input
+     * @param startNanos System.nanoTime() at the start of main
+     */
+    private static void logTimeToFirstQRCode(long startNanos) {
+        long millis = (System.nanoTime() - startNanos - inputWaitNanos) / 1_000_000;
+        LOGGER.log(Level.INFO, "Time to first QR Code: {0} ms (excluding {1} ms waiting for input)",
+                new Object[]{millis, inputWaitNanos / 1_000_000});
+    }
+
     /**
      * Sanitize SQL string to prevent SQL injection
      * @param input The input string
@@ -0,0 +1,163 @@
+package QRManager;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Minimal PDF writer that streams one grayscale raster image per page.
+ * Each page is written out as soon as it is added, so only the current
+ * page is held in memory.
+ */
+class PdfPageWriter implements Closeable {
+
+    // Objects 1 and 2 are the catalog and page tree, written on close
+    private static final int CATALOG_OBJECT = 1;
+    private static final int PAGES_OBJECT = 2;
+
+    private final CountingOutputStream outputStream;
+    private final List<Long> objectOffsets = new ArrayList<>();
+    private final List<Integer> pageObjects = new ArrayList<>();
+
+    /**
+     * Constructor to start a PDF document on the given stream
+     * @param outputStream The stream to write the document to
+     * @throws IOException if writing the header fails
+     */
+    PdfPageWriter(OutputStream outputStream) throws IOException {
+        this.outputStream = new CountingOutputStream(outputStream);
+        // Reserve offsets for the catalog and page tree
+        objectOffsets.add(0L);
+        objectOffsets.add(0L);
+        write("%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n");
+    }
+
+    /**
+     * Append a page showing the given image
+     * @param image The page image, must be TYPE_BYTE_GRAY
+     * @param dpi The resolution the image was rendered at
+     * @throws IOException if writing fails
+     */
+    void writePage(BufferedImage image, int dpi) throws IOException {
+        if (image.getType() != BufferedImage.TYPE_BYTE_GRAY) {
+            throw new IllegalArgumentException("Only TYPE_BYTE_GRAY images are supported");
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double widthPoints = width * 72.0 / dpi;
+        double heightPoints = height * 72.0 / dpi;
+
+        // Image XObject
+        byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed)) {
+            deflater.write(pixels, 0, width * height);
+        }
+        int imageObject = beginObject();
+        write("<< /Type /XObject /Subtype /Image /Width " + width + " /Height " + height
+                + " /ColorSpace /DeviceGray /BitsPerComponent 8 /Filter /FlateDecode /Length "
+                + compressed.size() + " >>\nstream\n");
+        compressed.writeTo(outputStream);
+        write("\nendstream\nendobj\n");
+
+        // Content stream drawing the image over the whole page
+        byte[] content = ("q " + format(widthPoints) + " 0 0 " + format(heightPoints) + " 0 0 cm /Im0 Do Q\n")
+                .getBytes(StandardCharsets.ISO_8859_1);
+        int contentObject = beginObject();
+        write("<< /Length " + content.length + " >>\nstream\n");
+        outputStream.write(content);
+        write("endstream\nendobj\n");
+
+        int pageObject = beginObject();
+        write("<< /Type /Page /Parent " + PAGES_OBJECT + " 0 R /MediaBox [0 0 " + format(widthPoints) + " "
+                + format(heightPoints) + "] /Resources << /XObject << /Im0 " + imageObject + " 0 R >> >>"
+                + " /Contents " + contentObject + " 0 R >>\nendobj\n");
+        pageObjects.add(pageObject);
+        outputStream.flush();
+    }
+
+    /**
+     * Write the page tree, catalog and cross-reference table and close the stream
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            objectOffsets.set(PAGES_OBJECT - 1, outputStream.count);
+            StringBuilder kids = new StringBuilder();
+            for (int pageObject : pageObjects) {
+                kids.append(pageObject).append(" 0 R ");
+            }
+            write(PAGES_OBJECT + " 0 obj\n<< /Type /Pages /Kids [" + kids + "] /Count " + pageObjects.size()
+                    + " >>\nendobj\n");
+
+            objectOffsets.set(CATALOG_OBJECT - 1, outputStream.count);
+            write(CATALOG_OBJECT + " 0 obj\n<< /Type /Catalog /Pages " + PAGES_OBJECT + " 0 R >>\nendobj\n");
+
+            long xrefOffset = outputStream.count;
+            StringBuilder xref = new StringBuilder();
+            xref.append("xref\n0 ").append(objectOffsets.size() + 1).append('\n');
+            xref.append("0000000000 65535 f \n");
+            for (long offset : objectOffsets) {
+                xref.append(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+            }
+            xref.append("trailer\n<< /Size ").append(objectOffsets.size() + 1)
+                    .append(" /Root ").append(CATALOG_OBJECT).append(" 0 R >>\n")
+                    .append("startxref\n").append(xrefOffset).append("\n%%EOF\n");
+            write(xref.toString());
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    /**
+     * Record the offset of a new object and write its header
+     * @return The new object number
+     */
+    private int beginObject() throws IOException {
+        objectOffsets.add(outputStream.count);
+        int objectNumber = objectOffsets.size();
+        write(objectNumber + " 0 obj\n");
+        return objectNumber;
+    }
+
+    private void write(String text) throws IOException {
+        outputStream.write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    /**
+     * Output stream that tracks the number of bytes written, for xref offsets
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
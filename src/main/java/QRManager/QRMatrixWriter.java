@@ -0,0 +1,189 @@
+package QRManager;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Writes a BitMatrix as vector (SVG) or raw packed-bit output without
+ * going through an image buffer.
+ */
+public final class QRMatrixWriter {
+
+    // Flush the path buffer to the writer once it grows past this many chars
+    private static final int FLUSH_THRESHOLD = 8192;
+
+    private QRMatrixWriter() {
+    }
+
+    /**
+     * Render the matrix as an SVG string
+     * @param matrix The QR code matrix, one bit per module
+     * @param width The displayed width of the SVG
+     * @param height The displayed height of the SVG
+     * @return The SVG document as String
+     */
+    public static String toSVG(BitMatrix matrix, int width, int height) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeSVG(matrix, width, height, writer);
+        } catch (IOException e) {
+            // StringWriter never throws
+            throw new IllegalStateException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Stream the matrix as an SVG document with a single path element.
+     * Dark modules are merged into horizontal runs, and identical runs on
+     * consecutive rows are merged into one rectangle segment.
+     * @param matrix The QR code matrix, one bit per module
+     * @param width The displayed width of the SVG
+     * @param height The displayed height of the SVG
+     * @param writer The writer to stream the SVG to
+     * @throws IOException if writing fails
+     */
+    public static void writeSVG(BitMatrix matrix, int width, int height, Writer writer) throws IOException {
+        if (matrix == null || writer == null) {
+            throw new IllegalArgumentException("Matrix and writer cannot be null");
+        }
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Width and height must be positive values");
+        }
+
+        int matrixWidth = matrix.getWidth();
+        int matrixHeight = matrix.getHeight();
+
+        StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 64);
+        buffer.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" version=\"1.1\"")
+                .append(" width=\"").append(width).append('"')
+                .append(" height=\"").append(height).append('"')
+                .append(" viewBox=\"0 0 ").append(matrixWidth).append(' ').append(matrixHeight).append('"')
+                .append(" shape-rendering=\"crispEdges\">\n")
+                .append("<rect width=\"100%\" height=\"100%\" fill=\"#FFFFFF\"/>\n")
+                .append("<path fill=\"#000000\" d=\"");
+
+        // Modules already covered by an emitted segment are cleared here
+        BitMatrix remaining = matrix.clone();
+
+        for (int y = 0; y < matrixHeight; y++) {
+            int x = 0;
+            while (x < matrixWidth) {
+                if (!remaining.get(x, y)) {
+                    x++;
+                    continue;
+                }
+
+                int runStart = x;
+                while (x < matrixWidth && remaining.get(x, y)) {
+                    x++;
+                }
+                int runLength = x - runStart;
+
+                // Extend the run downwards while the next row holds exactly the same run
+                int runHeight = 1;
+                while (y + runHeight < matrixHeight
+                        && isSameRun(remaining, runStart, runLength, y + runHeight)) {
+                    runHeight++;
+                }
+
+                for (int dy = 0; dy < runHeight; dy++) {
+                    for (int dx = 0; dx < runLength; dx++) {
+                        remaining.unset(runStart + dx, y + dy);
+                    }
+                }
+
+                buffer.append('M').append(runStart).append(',').append(y)
+                        .append('h').append(runLength)
+                        .append('v').append(runHeight)
+                        .append("h-").append(runLength)
+                        .append('z');
+            }
+
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                writer.append(buffer);
+                buffer.setLength(0);
+            }
+        }
+
+        buffer.append("\"/>\n</svg>\n");
+        writer.append(buffer);
+        writer.flush();
+    }
+
+    /**
+     * Check whether the given row holds a run of exactly runLength dark modules at runStart
+     */
+    private static boolean isSameRun(BitMatrix matrix, int runStart, int runLength, int y) {
+        if (runStart > 0 && matrix.get(runStart - 1, y)) {
+            return false;
+        }
+        int runEnd = runStart + runLength;
+        if (runEnd < matrix.getWidth() && matrix.get(runEnd, y)) {
+            return false;
+        }
+        for (int x = runStart; x < runEnd; x++) {
+            if (!matrix.get(x, y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Render the matrix as packed bits
+     * @param matrix The QR code matrix
+     * @return The packed-bit representation, see {@link #writePackedBits(BitMatrix, OutputStream)}
+     */
+    public static byte[] toPackedBits(BitMatrix matrix) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            writePackedBits(matrix, outputStream);
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            throw new IllegalStateException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Stream the matrix as raw packed bits: a big-endian int width, a
+     * big-endian int height, then each row padded to whole bytes with the
+     * leftmost module in the most significant bit (1 = dark).
+     * @param matrix The QR code matrix
+     * @param outputStream The stream to write to
+     * @throws IOException if writing fails
+     */
+    public static void writePackedBits(BitMatrix matrix, OutputStream outputStream) throws IOException {
+        if (matrix == null || outputStream == null) {
+            throw new IllegalArgumentException("Matrix and output stream cannot be null");
+        }
+
+        int matrixWidth = matrix.getWidth();
+        int matrixHeight = matrix.getHeight();
+        byte[] row = new byte[(matrixWidth + 7) / 8];
+
+        DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+        dataOutputStream.writeInt(matrixWidth);
+        dataOutputStream.writeInt(matrixHeight);
+
+        for (int y = 0; y < matrixHeight; y++) {
+            Arrays.fill(row, (byte) 0);
+            for (int x = 0; x < matrixWidth; x++) {
+                if (matrix.get(x, y)) {
+                    row[x >> 3] |= (byte) (0x80 >>> (x & 7));
+                }
+            }
+            dataOutputStream.write(row);
+        }
+        dataOutputStream.flush();
+    }
+}
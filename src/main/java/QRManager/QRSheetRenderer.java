@@ -0,0 +1,418 @@
+package QRManager;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lays out many QR codes on print sheets and writes them page by page,
+ * either as one PNG per page or as a single multi-page PDF.
+ * Tiles of a page are encoded and drawn in parallel into disjoint regions
+ * of a single page buffer, which is reused for every page.
+ */
+public class QRSheetRenderer {
+
+    private static final Logger LOGGER = Logger.getLogger(QRSheetRenderer.class.getName());
+    private static final byte WHITE = (byte) 0xFF;
+    private static final byte BLACK = 0;
+
+    private final int columns;
+    private final int rows;
+    private final int tileSize;
+    private final int dpi;
+    private int margin;
+    private int gutter;
+    private boolean showLabels = true;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private QRVerifier verifier;
+
+    /**
+     * A single QR code on the sheet
+     */
+    public static class Tile {
+        private final String payload;
+        private final String label;
+
+        /**
+         * @param payload The text to encode
+         * @param label The caption printed under the code, or null for none
+         */
+        public Tile(String payload, String label) {
+            this.payload = payload;
+            this.label = label;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Constructor to initialize the sheet layout
+     * @param columns Number of tiles per row
+     * @param rows Number of tile rows per page
+     * @param tileSize Size of each QR code in pixels
+     * @param dpi Resolution of the page in dots per inch
+     */
+    public QRSheetRenderer(int columns, int rows, int tileSize, int dpi) {
+        if (columns <= 0 || rows <= 0 || tileSize <= 0 || dpi <= 0) {
+            throw new IllegalArgumentException("Columns, rows, tile size and DPI must be positive values");
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.tileSize = tileSize;
+        this.dpi = dpi;
+        // Default to a quarter inch page margin and a tenth of a tile between tiles
+        this.margin = dpi / 4;
+        this.gutter = tileSize / 10;
+    }
+
+    public void setMargin(int margin) {
+        if (margin < 0) {
+            throw new IllegalArgumentException("Margin cannot be negative");
+        }
+        this.margin = margin;
+    }
+
+    public void setGutter(int gutter) {
+        if (gutter < 0) {
+            throw new IllegalArgumentException("Gutter cannot be negative");
+        }
+        this.gutter = gutter;
+    }
+
+    public void setShowLabels(boolean showLabels) {
+        this.showLabels = showLabels;
+    }
+
+    public void setThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Set an optional verifier that decodes every tile back from the printed
+     * page, i.e. the scaled modules and quiet zone as drawn. The label band
+     * below a tile is not part of the code and is not checked. At the end of
+     * each job the render methods wait for the verifier's report, and they
+     * return false if any sampled code failed. This shuts the verifier down,
+     * so set a new one for each job.
+     * @param verifier The verifier, or null to disable verification
+     */
+    public void setVerifier(QRVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    /**
+     * Render the tiles as one PNG file per page, named filePrefix-001.png and so on
+     * @param tiles The QR codes to lay out
+     * @param filePrefix The prefix of the output file names
+     * @return true if every tile was rendered, every page written and every verified code decoded, false otherwise
+     */
+    public boolean renderPNG(List<Tile> tiles, String filePrefix) {
+        if (filePrefix == null || filePrefix.trim().isEmpty()) {
+            LOGGER.log(Level.SEVERE, "File prefix cannot be null or empty");
+            return false;
+        }
+        return render(tiles, (page, pageNumber) ->
+                writePNG(page, FileSystems.getDefault().getPath(String.format(Locale.ROOT, "%s-%03d.png", filePrefix, pageNumber))));
+    }
+
+    /**
+     * Render the tiles into a single PDF file, one sheet per page
+     * @param tiles The QR codes to lay out
+     * @param fileName The output file name
+     * @return true if every tile was rendered, every page written and every verified code decoded, false otherwise
+     */
+    public boolean renderPDF(List<Tile> tiles, String fileName) {
+        if (fileName == null || fileName.trim().isEmpty()) {
+            LOGGER.log(Level.SEVERE, "File name cannot be null or empty");
+            return false;
+        }
+        // Checked before the file is created, a PDF without pages is not valid
+        if (tiles == null || tiles.isEmpty()) {
+            LOGGER.log(Level.SEVERE, "Tiles cannot be null or empty");
+            return false;
+        }
+
+        Path path = FileSystems.getDefault().getPath(fileName);
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(path));
+             PdfPageWriter pdfPageWriter = new PdfPageWriter(outputStream)) {
+            return render(tiles, (page, pageNumber) -> pdfPageWriter.writePage(page, dpi));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error writing PDF sheet to file: " + fileName, e);
+            System.err.println("Error saving sheet file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Receives each finished page; the image is reused for the next page once this returns
+     */
+    private interface PageSink {
+        void writePage(BufferedImage page, int pageNumber) throws IOException;
+    }
+
+    private boolean render(List<Tile> tiles, PageSink pageSink) {
+        if (tiles == null || tiles.isEmpty()) {
+            LOGGER.log(Level.SEVERE, "Tiles cannot be null or empty");
+            return false;
+        }
+        if (verifier != null && verifier.isShutdown()) {
+            LOGGER.log(Level.SEVERE, "Verifier has already been used for another job");
+            return false;
+        }
+
+        int labelHeight = showLabels ? Math.max(tileSize / 8, 1) : 0;
+        int cellHeight = tileSize + labelHeight;
+        int pageWidth = 2 * margin + columns * tileSize + (columns - 1) * gutter;
+        int pageHeight = 2 * margin + rows * cellHeight + (rows - 1) * gutter;
+        int tilesPerPage = columns * rows;
+        int pageCount = (tiles.size() + tilesPerPage - 1) / tilesPerPage;
+
+        LOGGER.log(Level.INFO, "Rendering {0} QR Codes on {1} pages",
+                new Object[]{tiles.size(), pageCount});
+
+        BufferedImage page = new BufferedImage(pageWidth, pageHeight, BufferedImage.TYPE_BYTE_GRAY);
+        byte[] pixels = ((DataBufferByte) page.getRaster().getDataBuffer()).getData();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        QRcodeGenerator qRcodeGenerator = new QRcodeGenerator();
+        int failedTiles = 0;
+        boolean pagesWritten = false;
+        boolean verified = true;
+
+        try {
+            for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+                Arrays.fill(pixels, WHITE);
+
+                int first = pageIndex * tilesPerPage;
+                int last = Math.min(first + tilesPerPage, tiles.size());
+                List<Future<Boolean>> results = new ArrayList<>(last - first);
+
+                for (int index = first; index < last; index++) {
+                    Tile tile = tiles.get(index);
+                    int slot = index - first;
+                    int left = margin + (slot % columns) * (tileSize + gutter);
+                    int top = margin + (slot / columns) * (cellHeight + gutter);
+                    results.add(executorService.submit(
+                            () -> drawTile(qRcodeGenerator, tile, pixels, pageWidth, left, top)));
+                }
+
+                boolean[] drawn = new boolean[results.size()];
+                for (int slot = 0; slot < drawn.length; slot++) {
+                    drawn[slot] = results.get(slot).get();
+                    if (!drawn[slot]) {
+                        failedTiles++;
+                    }
+                }
+
+                if (showLabels) {
+                    drawLabels(page, tiles.subList(first, last), labelHeight, cellHeight);
+                }
+
+                if (verifier != null) {
+                    submitForVerification(page, tiles.subList(first, last), drawn, cellHeight);
+                }
+
+                pageSink.writePage(page, pageIndex + 1);
+                LOGGER.log(Level.INFO, "Sheet page {0} of {1} written", new Object[]{pageIndex + 1, pageCount});
+            }
+            pagesWritten = true;
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error writing sheet page", e);
+            System.err.println("Error saving sheet page: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(Level.SEVERE, "Sheet rendering interrupted", e);
+        } catch (ExecutionException e) {
+            LOGGER.log(Level.SEVERE, "Unexpected error rendering tile", e.getCause());
+            System.err.println("Unexpected error: " + e.getCause().getMessage());
+        } finally {
+            executorService.shutdownNow();
+            // Finish the verifier on every path, so codes already submitted are reported and its threads stop
+            if (verifier != null) {
+                verified = finishVerification();
+            }
+        }
+
+        if (!pagesWritten) {
+            return false;
+        }
+        if (failedTiles > 0) {
+            LOGGER.log(Level.WARNING, "{0} QR Codes could not be rendered", failedTiles);
+            System.err.println(failedTiles + " QR Codes could not be rendered.");
+            return false;
+        }
+        return verified;
+    }
+
+    /**
+     * Wait for the verifier's report and print its summary
+     * @return true if every verified code decoded back, false otherwise
+     */
+    private boolean finishVerification() {
+        QRVerifier.Report report = verifier.awaitReport();
+        System.out.println(report);
+        if (!report.isSuccessful()) {
+            System.err.println(report.getFailures().size() + " QR Codes failed verification.");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Hand a copy of each drawn tile's code region, as it appears on the page,
+     * to the verifier. The copy is needed because the page buffer is reused
+     * for the next page.
+     */
+    private void submitForVerification(BufferedImage page, List<Tile> pageTiles, boolean[] drawn, int cellHeight) {
+        for (int slot = 0; slot < pageTiles.size(); slot++) {
+            if (!drawn[slot]) {
+                continue;
+            }
+            int left = margin + (slot % columns) * (tileSize + gutter);
+            int top = margin + (slot / columns) * (cellHeight + gutter);
+            BufferedImage tileImage = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_BYTE_GRAY);
+            page.getSubimage(left, top, tileSize, tileSize).copyData(tileImage.getRaster());
+            verifier.submit(pageTiles.get(slot).getPayload(), tileImage);
+        }
+    }
+
+    /**
+     * Encode one tile and draw it at whole-pixel module size, centred in its region
+     * @return true if the tile was drawn, false otherwise
+     */
+    private boolean drawTile(QRcodeGenerator qRcodeGenerator, Tile tile, byte[] pixels,
+                             int pageWidth, int left, int top) {
+        if (tile == null || tile.getPayload() == null || tile.getPayload().trim().isEmpty()) {
+            LOGGER.log(Level.SEVERE, "Tile payload cannot be null or empty");
+            return false;
+        }
+
+        BitMatrix bitMatrix;
+        try {
+            bitMatrix = qRcodeGenerator.encodeMatrix(tile.getPayload(), 0, 0);
+        } catch (WriterException e) {
+            LOGGER.log(Level.SEVERE, "Error encoding data to QR Code: " + tile.getPayload(), e);
+            return false;
+        }
+
+        int modules = bitMatrix.getWidth();
+        int moduleSize = tileSize / modules;
+        if (moduleSize < 1) {
+            LOGGER.log(Level.SEVERE, "Tile size {0} is too small for {1} modules: {2}",
+                    new Object[]{tileSize, modules, tile.getPayload()});
+            return false;
+        }
+        int offset = (tileSize - modules * moduleSize) / 2;
+
+        for (int y = 0; y < modules; y++) {
+            int rowStart = (top + offset + y * moduleSize) * pageWidth + left + offset;
+            for (int x = 0; x < modules; x++) {
+                if (bitMatrix.get(x, y)) {
+                    int start = rowStart + x * moduleSize;
+                    Arrays.fill(pixels, start, start + moduleSize, BLACK);
+                }
+            }
+            // Repeat the first pixel row of this module row
+            for (int dy = 1; dy < moduleSize; dy++) {
+                System.arraycopy(pixels, rowStart, pixels, rowStart + dy * pageWidth, modules * moduleSize);
+            }
+        }
+        return true;
+    }
+
+    private void drawLabels(BufferedImage page, List<Tile> pageTiles, int labelHeight, int cellHeight) {
+        Graphics2D graphics = page.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            graphics.setColor(Color.BLACK);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, Math.max(labelHeight * 3 / 4, 1)));
+            FontMetrics fontMetrics = graphics.getFontMetrics();
+
+            for (int slot = 0; slot < pageTiles.size(); slot++) {
+                Tile tile = pageTiles.get(slot);
+                if (tile == null || tile.getLabel() == null) {
+                    continue;
+                }
+                int left = margin + (slot % columns) * (tileSize + gutter);
+                int top = margin + (slot / columns) * (cellHeight + gutter) + tileSize;
+                int textWidth = fontMetrics.stringWidth(tile.getLabel());
+                graphics.setClip(left, top, tileSize, labelHeight);
+                graphics.drawString(tile.getLabel(),
+                        left + Math.max((tileSize - textWidth) / 2, 0),
+                        top + fontMetrics.getAscent());
+            }
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    /**
+     * Write the page as PNG with the sheet resolution recorded in its metadata
+     */
+    private void writePNG(BufferedImage page, Path path) throws IOException {
+        ImageWriter imageWriter = ImageIO.getImageWritersByFormatName("png").next();
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(path));
+             ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam writeParam = imageWriter.getDefaultWriteParam();
+            IIOMetadata metadata = imageWriter.getDefaultImageMetadata(
+                    ImageTypeSpecifier.createFromRenderedImage(page), writeParam);
+
+            // Standard metadata expresses resolution as millimetres per pixel
+            String pixelSize = Double.toString(25.4 / dpi);
+            IIOMetadataNode horizontal = new IIOMetadataNode("HorizontalPixelSize");
+            horizontal.setAttribute("value", pixelSize);
+            IIOMetadataNode vertical = new IIOMetadataNode("VerticalPixelSize");
+            vertical.setAttribute("value", pixelSize);
+            IIOMetadataNode dimension = new IIOMetadataNode("Dimension");
+            dimension.appendChild(horizontal);
+            dimension.appendChild(vertical);
+            IIOMetadataNode root = new IIOMetadataNode("javax_imageio_1.0");
+            root.appendChild(dimension);
+            metadata.mergeTree("javax_imageio_1.0", root);
+
+            imageWriter.setOutput(imageOutputStream);
+            imageWriter.write(null, new IIOImage(page, null, metadata), writeParam);
+        } finally {
+            imageWriter.dispose();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package QRManager;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.ReaderException;
+import com.google.zxing.Result;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decodes generated QR codes back with ZXing's reader on a bounded worker
+ * pool and compares the result to the original payload, so verification
+ * runs alongside generation. When the queue is full the submitting thread
+ * decodes the code itself, which keeps memory bounded. A verifier covers a
+ * single job: once {@link #awaitReport()} has been called it rejects new codes.
+ */
+public class QRVerifier implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(QRVerifier.class.getName());
+    private static final Map<DecodeHintType, Object> DECODE_HINTS = new EnumMap<>(DecodeHintType.class);
+
+    static {
+        // Generated codes are unrotated and undistorted, so skip the finder pattern search
+        DECODE_HINTS.put(DecodeHintType.PURE_BARCODE, Boolean.TRUE);
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final double samplingRate;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong checked = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final ConcurrentLinkedQueue<Failure> failures = new ConcurrentLinkedQueue<>();
+
+    /**
+     * A code that did not decode back to its payload
+     */
+    public static class Failure {
+        private final String payload;
+        private final String reason;
+
+        Failure(String payload, String reason) {
+            this.payload = payload;
+            this.reason = reason;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return payload == null ? reason : reason + ": " + payload;
+        }
+    }
+
+    /**
+     * Outcome of a verification run
+     */
+    public static class Report {
+        private final long checked;
+        private final long skipped;
+        private final List<Failure> failures;
+
+        Report(long checked, long skipped, List<Failure> failures) {
+            this.checked = checked;
+            this.skipped = skipped;
+            this.failures = Collections.unmodifiableList(failures);
+        }
+
+        public long getChecked() {
+            return checked;
+        }
+
+        public long getSkipped() {
+            return skipped;
+        }
+
+        public List<Failure> getFailures() {
+            return failures;
+        }
+
+        public boolean isSuccessful() {
+            return failures.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "Verified " + checked + " QR Codes, skipped " + skipped + ", failed " + failures.size();
+        }
+    }
+
+    /**
+     * Constructor to initialize the worker pool
+     * @param threads Number of decoding threads
+     * @param queueCapacity Maximum number of codes waiting to be decoded
+     * @param samplingRate Fraction of submitted codes to decode, from 0.0 to 1.0
+     */
+    public QRVerifier(int threads, int queueCapacity, double samplingRate) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Thread count and queue capacity must be positive values");
+        }
+        if (samplingRate < 0.0 || samplingRate > 1.0) {
+            throw new IllegalArgumentException("Sampling rate must be between 0.0 and 1.0");
+        }
+        this.samplingRate = samplingRate;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "qr-verifier-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    // Like CallerRunsPolicy, but never silently drop a code after shutdown
+                    if (pool.isShutdown()) {
+                        throw new IllegalStateException("QRVerifier has already been shut down");
+                    }
+                    runnable.run();
+                });
+    }
+
+    /**
+     * Queue a generated matrix for verification if it falls within the sampling rate
+     * @param payload The text that was encoded
+     * @param bitMatrix The generated matrix
+     * @throws IllegalStateException if the verifier has already been shut down
+     */
+    public void submit(String payload, BitMatrix bitMatrix) {
+        checkNotShutdown();
+        if (bitMatrix == null) {
+            failures.add(new Failure(payload, "No matrix to verify"));
+            return;
+        }
+        if (isSampled()) {
+            executor.execute(() -> verify(payload, MatrixToImageWriter.toBufferedImage(bitMatrix)));
+        }
+    }
+
+    /**
+     * Queue a rendered image for verification if it falls within the sampling rate
+     * @param payload The text that was encoded
+     * @param image The rendered image
+     * @throws IllegalStateException if the verifier has already been shut down
+     */
+    public void submit(String payload, BufferedImage image) {
+        checkNotShutdown();
+        if (image == null) {
+            failures.add(new Failure(payload, "No image to verify"));
+            return;
+        }
+        if (isSampled()) {
+            executor.execute(() -> verify(payload, image));
+        }
+    }
+
+    /**
+     * Wait for all queued codes to be decoded and return the results.
+     * No more codes can be submitted afterwards. If the wait is interrupted,
+     * the codes that were not decoded yet are reported as a failure, so a
+     * partial run never looks successful.
+     * @return The verification report
+     */
+    public Report awaitReport() {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.log(Level.INFO, "Waiting for QR Code verification to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(Level.WARNING, "Interrupted while waiting for QR Code verification", e);
+            // Count before stopping the workers, an interrupted decode must not pass as verified
+            long outstanding = submitted.get() - skipped.get() - completed.get();
+            if (outstanding > 0) {
+                failures.add(new Failure(null, outstanding + " sampled QR Codes were not verified, waiting was interrupted"));
+            }
+            executor.shutdownNow();
+        }
+
+        Report report = new Report(checked.get(), skipped.get(), new ArrayList<>(failures));
+        if (report.isSuccessful()) {
+            LOGGER.log(Level.INFO, report.toString());
+        } else {
+            LOGGER.log(Level.WARNING, report.toString());
+            for (Failure failure : report.getFailures()) {
+                LOGGER.log(Level.WARNING, "QR Code verification failed: {0}", failure);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * @return true once {@link #awaitReport()} or {@link #close()} has been called
+     */
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * Stop the worker pool without waiting for queued codes
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void checkNotShutdown() {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("QRVerifier has already been shut down");
+        }
+    }
+
+    /**
+     * Deterministic sampling: exactly floor(n * samplingRate) of the first n codes are checked
+     */
+    private boolean isSampled() {
+        long n = submitted.incrementAndGet();
+        boolean sampled = (long) (n * samplingRate) != (long) ((n - 1) * samplingRate);
+        if (!sampled) {
+            skipped.incrementAndGet();
+        }
+        return sampled;
+    }
+
+    private void verify(String payload, BufferedImage image) {
+        checked.incrementAndGet();
+        try {
+            BinaryBitmap binaryBitmap = new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image)));
+            Result result = new QRCodeReader().decode(binaryBitmap, DECODE_HINTS);
+
+            if (payload == null || !payload.equals(result.getText())) {
+                failures.add(new Failure(payload, "Decoded text does not match (got '" + result.getText() + "')"));
+            }
+        } catch (ReaderException e) {
+            failures.add(new Failure(payload, "Could not decode (" + e.getClass().getSimpleName() + ")"));
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Unexpected error verifying QR Code", e);
+            failures.add(new Failure(payload, "Unexpected error: " + e.getMessage()));
+        } finally {
+            completed.incrementAndGet();
+        }
+    }
+}
@@ -6,8 +6,13 @@ import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -15,6 +20,18 @@ import java.util.logging.Logger;
 public class QRcodeGenerator {
 
     private static final Logger LOGGER = Logger.getLogger(QRcodeGenerator.class.getName());
+    private QRVerifier verifier;
+
+    /**
+     * Set an optional verifier that decodes every generated QR code back.
+     * Verification runs asynchronously: the boolean returned by the generate
+     * methods does not include it, collect the failures with
+     * {@link QRVerifier#awaitReport()} once the batch is done.
+     * @param verifier The verifier, or null to disable verification
+     */
+    public void setVerifier(QRVerifier verifier) {
+        this.verifier = verifier;
+    }
 
     /**
      * Generate QR code with proper exception handling
@@ -44,8 +61,7 @@ public class QRcodeGenerator {
 
         try {
             // Generate QR Code
-            QRCodeWriter qrCodeWriter = new QRCodeWriter();
-            BitMatrix bitMatrix = qrCodeWriter.encode(url, BarcodeFormat.QR_CODE, width, height);
+            BitMatrix bitMatrix = encodeMatrix(url, width, height);
 
             // Get the path for the output file
             Path path = FileSystems.getDefault().getPath(fileName);
@@ -53,6 +69,8 @@ public class QRcodeGenerator {
             // Write the QR code to file
             MatrixToImageWriter.writeToPath(bitMatrix, "PNG", path);
 
+            submitForVerification(url, bitMatrix);
+
             LOGGER.log(Level.INFO, "QR Code generated successfully at: {0}", fileName);
             System.out.println("QR Code generated successfully! Check the project directory for " + fileName);
             return true;
@@ -78,4 +96,144 @@ public class QRcodeGenerator {
             System.out.println("QR Code generation process completed.");
         }
     }
+
+    /**
+     * Generate QR code as an SVG file. The matrix is encoded at one bit per
+     * module and scaled by the SVG viewer, so one file serves every resolution.
+     * @param url The URL to encode
+     * @param width The displayed width of the SVG
+     * @param height The displayed height of the SVG
+     * @param fileName The output file name
+     * @return true if QR code generated successfully, false otherwise
+     */
+    public boolean generateQRcodeSVG(String url, int width, int height, String fileName) {
+        if (url == null || url.trim().isEmpty()) {
+            LOGGER.log(Level.SEVERE, "URL cannot be null or empty");
+            return false;
+        }
+        if (width <= 0 || height <= 0) {
+            LOGGER.log(Level.SEVERE, "Width and height must be positive values");
+            return false;
+        }
+        if (fileName == null || fileName.trim().isEmpty()) {
+            LOGGER.log(Level.SEVERE, "File name cannot be null or empty");
+            return false;
+        }
+
+        LOGGER.log(Level.INFO, "Generating SVG QR Code for URL: {0}", url);
+
+        Path path = FileSystems.getDefault().getPath(fileName);
+        try {
+            // Encode before opening the file, so a failed encode leaves no empty file behind
+            BitMatrix bitMatrix = encodeMatrix(url, 0, 0);
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                QRMatrixWriter.writeSVG(bitMatrix, width, height, writer);
+            }
+
+            submitForVerification(url, bitMatrix);
+
+            LOGGER.log(Level.INFO, "SVG QR Code generated successfully at: {0}", fileName);
+            return true;
+        } catch (WriterException e) {
+            LOGGER.log(Level.SEVERE, "Error encoding data to QR Code", e);
+            System.err.println("Error while generating QR Code: " + e.getMessage());
+            return false;
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error writing SVG QR Code to file: " + fileName, e);
+            System.err.println("Error saving QR Code file: " + e.getMessage());
+            return false;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Unexpected error generating SVG QR Code", e);
+            System.err.println("Unexpected error: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Generate QR code as a raw packed-bit file for downstream systems,
+     * one bit per module (see {@link QRMatrixWriter#writePackedBits})
+     * @param url The URL to encode
+     * @param fileName The output file name
+     * @return true if QR code generated successfully, false otherwise
+     */
+    public boolean generateQRcodeRaw(String url, String fileName) {
+        if (url == null || url.trim().isEmpty()) {
+            LOGGER.log(Level.SEVERE, "URL cannot be null or empty");
+            return false;
+        }
+        if (fileName == null || fileName.trim().isEmpty()) {
+            LOGGER.log(Level.SEVERE, "File name cannot be null or empty");
+            return false;
+        }
+
+        LOGGER.log(Level.INFO, "Generating raw QR Code for URL: {0}", url);
+
+        Path path = FileSystems.getDefault().getPath(fileName);
+        try {
+            // Encode before opening the file, so a failed encode leaves no empty file behind
+            BitMatrix bitMatrix = encodeMatrix(url, 0, 0);
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(path))) {
+                QRMatrixWriter.writePackedBits(bitMatrix, outputStream);
+            }
+
+            submitForVerification(url, bitMatrix);
+
+            LOGGER.log(Level.INFO, "Raw QR Code generated successfully at: {0}", fileName);
+            return true;
+        } catch (WriterException e) {
+            LOGGER.log(Level.SEVERE, "Error encoding data to QR Code", e);
+            System.err.println("Error while generating QR Code: " + e.getMessage());
+            return false;
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error writing raw QR Code to file: " + fileName, e);
+            System.err.println("Error saving QR Code file: " + e.getMessage());
+            return false;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Unexpected error generating raw QR Code", e);
+            System.err.println("Unexpected error: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Load the ZXing encoder and the PNG image writer ahead of the first real
+     * QR code, e.g. on a background thread while the user is still typing
+     */
+    public void warmUp() {
+        try {
+            BitMatrix bitMatrix = encodeMatrix("warm-up", 0, 0);
+            MatrixToImageWriter.writeToStream(bitMatrix, "PNG", OutputStream.nullOutputStream());
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "QR Code warm-up failed", e);
+        }
+    }
+
+    /**
+     * Hand a generated matrix to the verifier, if one is set. A verifier that
+     * has already been shut down is reported but does not fail the generation.
+     */
+    private void submitForVerification(String url, BitMatrix bitMatrix) {
+        if (verifier == null) {
+            return;
+        }
+        try {
+            verifier.submit(url, bitMatrix);
+        } catch (IllegalStateException e) {
+            LOGGER.log(Level.WARNING, "QR Code not verified, the verifier has already been shut down: " + url, e);
+        }
+    }
+
+    /**
+     * Encode the given text into a QR code matrix. A width and height of 0
+     * yield one bit per module, including the quiet zone.
+     * @param url The URL to encode
+     * @param width The minimum width of the matrix
+     * @param height The minimum height of the matrix
+     * @return The encoded matrix
+     * @throws WriterException if the text cannot be encoded
+     */
+    public BitMatrix encodeMatrix(String url, int width, int height) throws WriterException {
+        QRCodeWriter qrCodeWriter = new QRCodeWriter();
+        return qrCodeWriter.encode(url, BarcodeFormat.QR_CODE, width, height);
+    }
 }
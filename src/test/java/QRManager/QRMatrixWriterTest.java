@@ -0,0 +1,138 @@
+package QRManager;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QRMatrixWriterTest {
+
+    // One segment per merged rectangle: M x,y h width v height h-width z
+    private static final Pattern SEGMENT = Pattern.compile("M(\\d+),(\\d+)h(\\d+)v(\\d+)h-(\\d+)z");
+    private static final Pattern PATH_DATA = Pattern.compile("<path fill=\"#000000\" d=\"([^\"]*)\"/>");
+
+    @Test
+    void svgPathCoversExactlyTheDarkModules() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode("https://devfolios.online", BarcodeFormat.QR_CODE, 0, 0);
+
+        assertEquals(matrix, parseSVG(QRMatrixWriter.toSVG(matrix, 350, 350), matrix.getWidth(), matrix.getHeight()));
+    }
+
+    @Test
+    void svgMergesIdenticalRunsOnConsecutiveRows() {
+        BitMatrix matrix = new BitMatrix(10, 4);
+        matrix.setRegion(2, 0, 3, 3);
+        matrix.set(7, 0);
+        matrix.set(8, 0);
+        matrix.set(0, 3);
+        matrix.set(9, 3);
+
+        String svg = QRMatrixWriter.toSVG(matrix, 100, 40);
+
+        assertTrue(svg.contains("d=\"M2,0h3v3h-3zM7,0h2v1h-2zM0,3h1v1h-1zM9,3h1v1h-1z\""), svg);
+        assertTrue(svg.contains("viewBox=\"0 0 10 4\""), svg);
+        assertEquals(matrix, parseSVG(svg, 10, 4));
+    }
+
+    @Test
+    void svgOfEmptyMatrixHasEmptyPath() {
+        String svg = QRMatrixWriter.toSVG(new BitMatrix(5, 5), 50, 50);
+
+        assertTrue(svg.contains("d=\"\""), svg);
+    }
+
+    @Test
+    void packedBitsRoundTrip() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode("https://devfolios.online", BarcodeFormat.QR_CODE, 0, 0);
+
+        assertEquals(matrix, parsePackedBits(QRMatrixWriter.toPackedBits(matrix)));
+    }
+
+    @Test
+    void packedBitsHeaderAndRowPadding() throws Exception {
+        // 10 modules wide: each row takes two bytes, the last six bits are padding
+        BitMatrix matrix = new BitMatrix(10, 2);
+        matrix.set(0, 0);
+        matrix.set(9, 0);
+        matrix.set(7, 1);
+        matrix.set(8, 1);
+
+        byte[] packed = QRMatrixWriter.toPackedBits(matrix);
+
+        assertEquals(8 + 2 * 2, packed.length);
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(packed));
+        assertEquals(10, input.readInt());
+        assertEquals(2, input.readInt());
+        assertEquals(0x80, input.readUnsignedByte());
+        assertEquals(0x40, input.readUnsignedByte());
+        assertEquals(0x01, input.readUnsignedByte());
+        assertEquals(0x80, input.readUnsignedByte());
+        assertEquals(-1, input.read());
+        assertEquals(matrix, parsePackedBits(packed));
+    }
+
+    /**
+     * Paint every path segment back into a module grid, failing on overlapping segments
+     */
+    private static BitMatrix parseSVG(String svg, int width, int height) {
+        Matcher pathMatcher = PATH_DATA.matcher(svg);
+        assertTrue(pathMatcher.find(), svg);
+        String pathData = pathMatcher.group(1);
+
+        BitMatrix result = new BitMatrix(width, height);
+        Matcher segment = SEGMENT.matcher(pathData);
+        int end = 0;
+        while (segment.find()) {
+            assertEquals(end, segment.start(), "Unexpected path data at " + end);
+            end = segment.end();
+
+            int x = Integer.parseInt(segment.group(1));
+            int y = Integer.parseInt(segment.group(2));
+            int runWidth = Integer.parseInt(segment.group(3));
+            int runHeight = Integer.parseInt(segment.group(4));
+            assertEquals(runWidth, Integer.parseInt(segment.group(5)));
+
+            for (int dy = 0; dy < runHeight; dy++) {
+                for (int dx = 0; dx < runWidth; dx++) {
+                    assertFalse(result.get(x + dx, y + dy), "Module painted twice");
+                    result.set(x + dx, y + dy);
+                }
+            }
+        }
+        assertEquals(pathData.length(), end, "Unexpected trailing path data");
+        return result;
+    }
+
+    private static BitMatrix parsePackedBits(byte[] packed) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(packed));
+        int width = input.readInt();
+        int height = input.readInt();
+        byte[] row = new byte[(width + 7) / 8];
+
+        BitMatrix result = new BitMatrix(width, height);
+        for (int y = 0; y < height; y++) {
+            input.readFully(row);
+            for (int x = 0; x < width; x++) {
+                if ((row[x >> 3] & (0x80 >>> (x & 7))) != 0) {
+                    result.set(x, y);
+                }
+            }
+            // Padding bits past the last module must be zero
+            for (int x = width; x < row.length * 8; x++) {
+                assertEquals(0, row[x >> 3] & (0x80 >>> (x & 7)), "Padding bit set");
+            }
+        }
+        assertEquals(-1, input.read());
+        return result;
+    }
+}
@@ -0,0 +1,105 @@
+package QRManager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QRSheetRendererTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void printedTilesDecodeBackOnEveryPage() {
+        List<QRSheetRenderer.Tile> tiles = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            tiles.add(new QRSheetRenderer.Tile("https://devfolios.online/" + i, "Code #" + i));
+        }
+        QRSheetRenderer renderer = new QRSheetRenderer(2, 2, 150, 150);
+        renderer.setVerifier(new QRVerifier(2, 4, 1.0));
+
+        assertTrue(renderer.renderPNG(tiles, tempDir.resolve("sheet").toString()));
+        assertTrue(Files.exists(tempDir.resolve("sheet-001.png")));
+        assertTrue(Files.exists(tempDir.resolve("sheet-002.png")));
+    }
+
+    @Test
+    void pdfHasOnePagePerSheet() throws Exception {
+        List<QRSheetRenderer.Tile> tiles = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tiles.add(new QRSheetRenderer.Tile("https://devfolios.online/" + i, null));
+        }
+        Path pdf = tempDir.resolve("sheet.pdf");
+
+        assertTrue(new QRSheetRenderer(2, 1, 150, 150).renderPDF(tiles, pdf.toString()));
+
+        String content = new String(Files.readAllBytes(pdf), StandardCharsets.ISO_8859_1);
+        assertTrue(content.startsWith("%PDF-1.4"));
+        assertTrue(content.contains("/Type /Pages /Kids [5 0 R 8 0 R 11 0 R ] /Count 3"), content);
+        assertTrue(content.endsWith("%%EOF\n"));
+    }
+
+    @Test
+    void verificationMismatchFailsTheJob() {
+        List<QRSheetRenderer.Tile> tiles = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tiles.add(new QRSheetRenderer.Tile("https://devfolios.online/" + i, "Code #" + i));
+        }
+        // Expect a different payload for every tile, so each printed code decodes to a mismatch
+        QRVerifier mismatchingVerifier = new QRVerifier(1, 2, 1.0) {
+            @Override
+            public void submit(String payload, BufferedImage image) {
+                super.submit(payload + "/expected", image);
+            }
+        };
+        QRSheetRenderer renderer = new QRSheetRenderer(2, 1, 150, 150);
+        renderer.setVerifier(mismatchingVerifier);
+
+        assertFalse(renderer.renderPDF(tiles, tempDir.resolve("mismatch.pdf").toString()));
+        assertEquals(3, mismatchingVerifier.awaitReport().getFailures().size());
+    }
+
+    @Test
+    void drainedVerifierCannotBeReused() {
+        List<QRSheetRenderer.Tile> tiles = Collections.singletonList(
+                new QRSheetRenderer.Tile("https://devfolios.online", "label"));
+        QRSheetRenderer renderer = new QRSheetRenderer(1, 1, 150, 150);
+        QRVerifier verifier = new QRVerifier(1, 1, 1.0);
+        renderer.setVerifier(verifier);
+
+        assertTrue(renderer.renderPNG(tiles, tempDir.resolve("first").toString()));
+        // The verifier is drained by the first job and cannot be reused
+        assertFalse(renderer.renderPNG(tiles, tempDir.resolve("second").toString()));
+    }
+
+    @Test
+    void pageWriteErrorStillFinishesVerifier() {
+        List<QRSheetRenderer.Tile> tiles = Collections.singletonList(
+                new QRSheetRenderer.Tile("https://devfolios.online", "label"));
+        QRSheetRenderer renderer = new QRSheetRenderer(1, 1, 150, 150);
+        QRVerifier verifier = new QRVerifier(1, 1, 1.0);
+        renderer.setVerifier(verifier);
+
+        assertFalse(renderer.renderPNG(tiles, tempDir.resolve("missing").resolve("sheet").toString()));
+        assertTrue(verifier.isShutdown());
+    }
+
+    @Test
+    void emptyTileListCreatesNoPdf() {
+        Path pdf = tempDir.resolve("empty.pdf");
+
+        assertFalse(new QRSheetRenderer(2, 2, 150, 150).renderPDF(Collections.emptyList(), pdf.toString()));
+        assertFalse(Files.exists(pdf));
+    }
+}
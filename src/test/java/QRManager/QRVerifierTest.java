@@ -0,0 +1,96 @@
+package QRManager;
+
+import com.google.zxing.common.BitMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QRVerifierTest {
+
+    private final QRcodeGenerator qRcodeGenerator = new QRcodeGenerator();
+
+    @Test
+    void matchingCodesPassAndMismatchesAreReported() throws Exception {
+        QRVerifier verifier = new QRVerifier(2, 4, 1.0);
+        for (int i = 0; i < 10; i++) {
+            verifier.submit("https://devfolios.online/" + i, qRcodeGenerator.encodeMatrix("https://devfolios.online/" + i, 0, 0));
+        }
+        verifier.submit("https://devfolios.online/expected", qRcodeGenerator.encodeMatrix("https://devfolios.online/other", 0, 0));
+
+        QRVerifier.Report report = verifier.awaitReport();
+
+        assertEquals(11, report.getChecked());
+        assertEquals(0, report.getSkipped());
+        assertEquals(1, report.getFailures().size());
+        assertEquals("https://devfolios.online/expected", report.getFailures().get(0).getPayload());
+    }
+
+    @Test
+    void samplingRateChecksTheExpectedShare() throws Exception {
+        QRVerifier verifier = new QRVerifier(1, 1, 0.25);
+        BitMatrix bitMatrix = qRcodeGenerator.encodeMatrix("https://devfolios.online", 0, 0);
+        for (int i = 0; i < 20; i++) {
+            verifier.submit("https://devfolios.online", bitMatrix);
+        }
+
+        QRVerifier.Report report = verifier.awaitReport();
+
+        assertEquals(5, report.getChecked());
+        assertEquals(15, report.getSkipped());
+        assertTrue(report.isSuccessful());
+    }
+
+    @Test
+    void submitAfterShutdownIsRejected() throws Exception {
+        QRVerifier verifier = new QRVerifier(1, 1, 1.0);
+        BitMatrix bitMatrix = qRcodeGenerator.encodeMatrix("https://devfolios.online", 0, 0);
+        verifier.awaitReport();
+
+        assertTrue(verifier.isShutdown());
+        assertThrows(IllegalStateException.class, () -> verifier.submit("https://devfolios.online", bitMatrix));
+        assertEquals(0, verifier.awaitReport().getChecked());
+    }
+
+    @Test
+    void interruptedWaitIsNotReportedAsSuccess() throws Exception {
+        CountDownLatch decodeStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // The decoder reads the width first, so this keeps the code stuck in verification
+        BufferedImage blockingImage = new BufferedImage(50, 50, BufferedImage.TYPE_BYTE_GRAY) {
+            @Override
+            public int getWidth() {
+                decodeStarted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getWidth();
+            }
+        };
+        QRVerifier verifier = new QRVerifier(1, 1, 1.0);
+        verifier.submit("https://devfolios.online", blockingImage);
+        assertTrue(decodeStarted.await(10, TimeUnit.SECONDS));
+
+        QRVerifier.Report report;
+        Thread.currentThread().interrupt();
+        try {
+            report = verifier.awaitReport();
+        } finally {
+            Thread.interrupted();
+            release.countDown();
+        }
+
+        assertFalse(report.isSuccessful());
+        assertNull(report.getFailures().get(0).getPayload());
+        assertTrue(report.getFailures().get(0).getReason().startsWith("1 sampled QR Codes were not verified"));
+    }
+}
@@ -0,0 +1,34 @@
+package QRManager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QRcodeGeneratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shutDownVerifierDoesNotFailGeneration() {
+        QRVerifier verifier = new QRVerifier(1, 1, 1.0);
+        verifier.awaitReport();
+        QRcodeGenerator qRcodeGenerator = new QRcodeGenerator();
+        qRcodeGenerator.setVerifier(verifier);
+
+        Path png = tempDir.resolve("web.png");
+        Path svg = tempDir.resolve("web.svg");
+        Path raw = tempDir.resolve("web.bin");
+
+        assertTrue(qRcodeGenerator.generateQRcode("https://devfolios.online", 350, 350, png.toString()));
+        assertTrue(qRcodeGenerator.generateQRcodeSVG("https://devfolios.online", 350, 350, svg.toString()));
+        assertTrue(qRcodeGenerator.generateQRcodeRaw("https://devfolios.online", raw.toString()));
+        assertTrue(Files.exists(png));
+        assertTrue(Files.exists(svg));
+        assertTrue(Files.exists(raw));
+    }
+}